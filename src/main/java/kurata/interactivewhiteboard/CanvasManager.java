@@ -23,8 +23,9 @@ public class CanvasManager {
     private final Canvas canvas;
     private final GraphicsContext gc;
     private final StackPane canvasContainer;
-    private final Stack<WritableImage> undoStack;
-    private final Stack<WritableImage> redoStack;
+    private final Stack<HistoryEntry> undoStack;
+    private final Stack<HistoryEntry> redoStack;
+    private final SelectionManager selectionManager;
     private Color currentColor;
     private String selectedTool;
     private double fontSize;
@@ -44,6 +45,7 @@ public class CanvasManager {
         fontSize = 20;
 
         configureCanvas();
+        selectionManager = new SelectionManager(canvas, canvasContainer, this::recordEdit);
     }
 
     /**
@@ -54,7 +56,7 @@ public class CanvasManager {
         canvas.setCursor(Cursor.CROSSHAIR);
         canvas.setOnMousePressed(this::startDraw);
         canvas.setOnMouseDragged(this::draw);
-        canvas.setOnMouseReleased(e -> saveState());
+        canvas.setOnMouseReleased(this::endDraw);
 
         canvasContainer.getChildren().add(canvas);
         canvasContainer.setStyle("-fx-background-color: white;");
@@ -77,6 +79,10 @@ public class CanvasManager {
      * Handles mouse press event to start drawing.
      */
     private void startDraw(MouseEvent event) {
+        if (isSelectionTool()) {
+            selectionManager.startSelection(event, isLasso());
+            return;
+        }
         gc.beginPath();
         gc.moveTo(event.getX(), event.getY());
         gc.setStroke(currentColor);
@@ -87,6 +93,10 @@ public class CanvasManager {
      * Handles mouse drag event to draw on the canvas based on the selected tool.
      */
     private void draw(MouseEvent event) {
+        if (isSelectionTool()) {
+            selectionManager.dragSelection(event, isLasso());
+            return;
+        }
         switch (selectedTool) {
             case "Pencil":
                 gc.lineTo(event.getX(), event.getY());
@@ -99,10 +109,36 @@ public class CanvasManager {
         }
     }
 
+    /**
+     * Handles mouse release event to finish a stroke or a selection.
+     */
+    private void endDraw(MouseEvent event) {
+        if (isSelectionTool()) {
+            selectionManager.endSelection(event, isLasso());
+        } else {
+            saveState();
+        }
+    }
+
+    /**
+     * Checks whether the rectangle or lasso selection tool is active.
+     */
+    private boolean isSelectionTool() {
+        return "Select".equals(selectedTool) || isLasso();
+    }
+
+    /**
+     * Checks whether the lasso selection tool is active.
+     */
+    private boolean isLasso() {
+        return "Lasso".equals(selectedTool);
+    }
+
     /**
      * Selects the drawing tool.
      */
     public void selectTool(String tool) {
+        selectionManager.commit();
         selectedTool = tool;
         if ("Text".equals(tool)) {
             setTextPosition();
@@ -116,22 +152,64 @@ public class CanvasManager {
         WritableImage snapshot = new WritableImage((int) canvas.getWidth(), (int) canvas.getHeight());
         canvas.snapshot(null, snapshot);
 
-        if (undoStack.isEmpty() || !imagesAreEqual(snapshot, undoStack.peek())) {
-            undoStack.push(snapshot);
+        if (undoStack.isEmpty() || undoStack.peek().snapshot == null
+                || !imagesAreEqual(snapshot, undoStack.peek().snapshot)) {
+            undoStack.push(new HistoryEntry(snapshot, null));
             redoStack.clear();
         }
     }
 
+    /**
+     * Records a region move or paste for undo/redo without taking a snapshot of the canvas.
+     */
+    private void recordEdit(RegionEdit edit) {
+        undoStack.push(new HistoryEntry(null, edit));
+        redoStack.clear();
+    }
+
+    /**
+     * Drops any moved or pasted selection onto the canvas before something else draws on it.
+     */
+    public void commitSelection() {
+        selectionManager.commit();
+    }
+
+    /**
+     * Copies the current selection to the clipboard.
+     */
+    public void copySelection() {
+        selectionManager.copy();
+    }
+
+    /**
+     * Pastes the clipboard contents as a selection that can be dragged into place.
+     */
+    public void pasteSelection() {
+        if (!isSelectionTool()) {
+            selectTool("Select");
+        }
+        selectionManager.paste();
+    }
+
     /**
      * Undoes the last drawing action.
      */
     public void undo() {
+        selectionManager.commit();
         if (!undoStack.isEmpty()) {
             redoStack.push(undoStack.pop());
             gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
 
-            if (!undoStack.isEmpty()) {
-                gc.drawImage(undoStack.peek(), 0, 0);
+            // Restore the latest snapshot, then replay the region edits recorded after it
+            int base = undoStack.size() - 1;
+            while (base >= 0 && undoStack.get(base).snapshot == null) {
+                base--;
+            }
+            if (base >= 0) {
+                gc.drawImage(undoStack.get(base).snapshot, 0, 0);
+            }
+            for (int i = base + 1; i < undoStack.size(); i++) {
+                undoStack.get(i).edit.apply(gc);
             }
         }
     }
@@ -140,11 +218,16 @@ public class CanvasManager {
      * Redoes the last undone action.
      */
     public void redo() {
+        selectionManager.commit();
         if (!redoStack.isEmpty()) {
-            WritableImage snapshot = redoStack.pop();
-            undoStack.push(snapshot);
-            gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
-            gc.drawImage(snapshot, 0, 0);
+            HistoryEntry entry = redoStack.pop();
+            undoStack.push(entry);
+            if (entry.snapshot != null) {
+                gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+                gc.drawImage(entry.snapshot, 0, 0);
+            } else {
+                entry.edit.apply(gc);
+            }
         }
     }
 
@@ -152,6 +235,7 @@ public class CanvasManager {
      * Clears the entire canvas and resets the background color.
      */
     public void clearCanvas() {
+        selectionManager.commit();
         gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
         gc.setFill(Color.WHITE);
         gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
@@ -162,6 +246,7 @@ public class CanvasManager {
      * Saves the canvas content as a PNG image file.
      */
     public void saveCanvas(Stage stage) {
+        selectionManager.commit();
         FileChooser fileChooser = new FileChooser();
         fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("PNG Image", "*.png"));
         File file = fileChooser.showSaveDialog(stage);
@@ -181,6 +266,7 @@ public class CanvasManager {
      * Adds text to the canvas at a specified location with the selected color.
      */
     public void addText(String text, double x, double y, Color color) {
+        selectionManager.commit();
         if (!text.isEmpty()) {
             gc.setFill(color);
             gc.setFont(new Font(fontSize));
@@ -225,4 +311,18 @@ public class CanvasManager {
         }
         return true;
     }
+
+    /**
+     * A single undo/redo step: either a full canvas snapshot or a region edit
+     * replayed on top of the latest snapshot below it.
+     */
+    private static class HistoryEntry {
+        private final WritableImage snapshot;
+        private final RegionEdit edit;
+
+        private HistoryEntry(WritableImage snapshot, RegionEdit edit) {
+            this.snapshot = snapshot;
+            this.edit = edit;
+        }
+    }
 }
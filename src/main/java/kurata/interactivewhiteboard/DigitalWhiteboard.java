@@ -2,6 +2,9 @@ package kurata.interactivewhiteboard;
 
 import javafx.application.Application;
 import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
 import javafx.scene.layout.BorderPane;
 import javafx.stage.Stage;
 
@@ -42,6 +45,12 @@ public class DigitalWhiteboard extends Application {
         Scene scene = new Scene(root, 1200, 700);
         scene.getStylesheets().add(getClass().getResource("Styles.css").toExternalForm());
 
+        // Keyboard shortcuts for copying and pasting selections
+        scene.getAccelerators().put(new KeyCodeCombination(KeyCode.C, KeyCombination.SHORTCUT_DOWN),
+                canvasManager::copySelection);
+        scene.getAccelerators().put(new KeyCodeCombination(KeyCode.V, KeyCombination.SHORTCUT_DOWN),
+                canvasManager::pasteSelection);
+
         // Configure and display the primary stage
         primaryStage.setTitle("Digital Whiteboard");
         primaryStage.setScene(scene);
@@ -0,0 +1,236 @@
+package kurata.interactivewhiteboard;
+
+import javafx.geometry.Point2D;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * A block of pixels lifted out of the canvas by a selection or taken from the clipboard.
+ * The pixels are read once into a direct buffer of premultiplied ARGB values, and the image
+ * used for previews, copies and undo/redo replay wraps that same buffer instead of copying it.
+ */
+public class PixelRegion {
+    private final int width;
+    private final int height;
+    private final WritableImage image;
+    private final double[] outlineX;  // Lasso outline relative to the region, null for rectangles
+    private final double[] outlineY;
+    private final boolean[] mask;     // Pixels inside the lasso outline, null for rectangles
+
+    /**
+     * Constructor wraps a filled pixel buffer without copying it.
+     *
+     * @param width    The width of the region in pixels
+     * @param height   The height of the region in pixels
+     * @param pixels   Direct buffer of premultiplied ARGB pixels, row by row
+     * @param outlineX X coordinates of the lasso outline relative to the region, or null
+     * @param outlineY Y coordinates of the lasso outline relative to the region, or null
+     * @param mask     Which pixels lie inside the lasso outline, or null
+     */
+    private PixelRegion(int width, int height, IntBuffer pixels,
+                        double[] outlineX, double[] outlineY, boolean[] mask) {
+        this.width = width;
+        this.height = height;
+        this.outlineX = outlineX;
+        this.outlineY = outlineY;
+        this.mask = mask;
+
+        PixelBuffer<IntBuffer> buffer = new PixelBuffer<>(width, height, pixels,
+                PixelFormat.getIntArgbPreInstance());
+        this.image = new WritableImage(buffer);
+    }
+
+    /**
+     * Reads a rectangle of the canvas into a new region. Pixels whose centre lies outside
+     * the lasso outline, if one is given, are made transparent.
+     *
+     * @param canvas   The canvas to read from
+     * @param bounds   The area of the canvas to read, in canvas coordinates
+     * @param outlineX X coordinates of the lasso outline relative to the bounds, or null
+     * @param outlineY Y coordinates of the lasso outline relative to the bounds, or null
+     * @return The extracted region
+     */
+    public static PixelRegion fromCanvas(Canvas canvas, Rectangle2D bounds, double[] outlineX, double[] outlineY) {
+        int w = (int) bounds.getWidth();
+        int h = (int) bounds.getHeight();
+
+        // Snapshot only the selected area; the viewport is given in the canvas' parent coordinates
+        Point2D origin = canvas.localToParent(bounds.getMinX(), bounds.getMinY());
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        params.setViewport(new Rectangle2D(origin.getX(), origin.getY(), w, h));
+        WritableImage snapshot = canvas.snapshot(params, new WritableImage(w, h));
+
+        IntBuffer pixels = allocatePixels(w, h);
+        snapshot.getPixelReader().getPixels(0, 0, w, h, PixelFormat.getIntArgbPreInstance(), pixels, w);
+
+        boolean[] mask = null;
+        if (outlineX != null) {
+            mask = scanOutline(outlineX, outlineY, w, h);
+            for (int i = 0; i < w * h; i++) {
+                if (!mask[i]) {
+                    pixels.put(i, 0);
+                }
+            }
+        }
+        return new PixelRegion(w, h, pixels, outlineX, outlineY, mask);
+    }
+
+    /**
+     * Marks the pixels whose centre lies inside a polygon, using the same even-odd rule as
+     * {@link #insideOutline}. Each row finds where the edges cross its centre line once and
+     * fills between pairs of crossings, instead of testing every pixel against every edge.
+     */
+    private static boolean[] scanOutline(double[] xs, double[] ys, int width, int height) {
+        boolean[] mask = new boolean[width * height];
+        double[] crossings = new double[xs.length];
+        for (int y = 0; y < height; y++) {
+            double centreY = y + 0.5;
+            int count = 0;
+            for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+                if ((ys[i] > centreY) != (ys[j] > centreY)) {
+                    crossings[count++] = (xs[j] - xs[i]) * (centreY - ys[i]) / (ys[j] - ys[i]) + xs[i];
+                }
+            }
+            Arrays.sort(crossings, 0, count);
+
+            // A pixel centre is inside when it lies in [crossings[k], crossings[k + 1]) for even k
+            for (int k = 0; k + 1 < count; k += 2) {
+                int start = Math.max(0, (int) Math.ceil(crossings[k] - 0.5));
+                int end = Math.min(width, (int) Math.ceil(crossings[k + 1] - 0.5));
+                for (int x = start; x < end; x++) {
+                    mask[y * width + x] = true;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Reads an image, such as one pasted from the system clipboard, into a new region.
+     *
+     * @param source The image to read
+     * @return The extracted region, or null if the image has no readable pixels
+     */
+    public static PixelRegion fromImage(Image source) {
+        PixelReader reader = source.getPixelReader();
+        int w = (int) source.getWidth();
+        int h = (int) source.getHeight();
+        if (reader == null || w == 0 || h == 0) {
+            return null;
+        }
+
+        IntBuffer pixels = allocatePixels(w, h);
+        reader.getPixels(0, 0, w, h, PixelFormat.getIntArgbPreInstance(), pixels, w);
+        return new PixelRegion(w, h, pixels, null, null, null);
+    }
+
+    // Getters for the region's size and image
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public Image getImage() { return image; }
+
+    /**
+     * Checks whether a point belongs to the region's shape.
+     *
+     * @param x The x coordinate relative to the region's top-left corner
+     * @param y The y coordinate relative to the region's top-left corner
+     * @return True if the point lies inside the rectangle or lasso outline
+     */
+    public boolean contains(double x, double y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return false;
+        }
+        return outlineX == null || insideOutline(outlineX, outlineY, x, y);
+    }
+
+    /**
+     * Erases the region's shape from the canvas at the given position. A lasso region
+     * erases exactly the pixels it extracted, so nothing is lost or left behind at its edges.
+     *
+     * @param gc The graphics context of the canvas
+     * @param x  The x coordinate of the region's top-left corner, in whole pixels
+     * @param y  The y coordinate of the region's top-left corner, in whole pixels
+     */
+    public void clearFrom(GraphicsContext gc, double x, double y) {
+        if (mask == null) {
+            gc.clearRect(x, y, width, height);
+            return;
+        }
+
+        // Write transparent pixels over each run of masked pixels, row by row
+        PixelWriter writer = gc.getPixelWriter();
+        int[] transparent = new int[width];
+        for (int row = 0; row < height; row++) {
+            int col = 0;
+            while (col < width) {
+                if (!mask[row * width + col]) {
+                    col++;
+                    continue;
+                }
+                int start = col;
+                while (col < width && mask[row * width + col]) {
+                    col++;
+                }
+                writer.setPixels((int) x + start, (int) y + row, col - start, 1,
+                        PixelFormat.getIntArgbPreInstance(), transparent, 0, width);
+            }
+        }
+    }
+
+    /**
+     * Draws a dashed outline of the region's shape, used to mark the current selection.
+     *
+     * @param gc The graphics context to draw on
+     * @param x  The x coordinate of the region's top-left corner
+     * @param y  The y coordinate of the region's top-left corner
+     */
+    public void strokeOutline(GraphicsContext gc, double x, double y) {
+        if (outlineX != null) {
+            gc.beginPath();
+            gc.moveTo(x + outlineX[0], y + outlineY[0]);
+            for (int i = 1; i < outlineX.length; i++) {
+                gc.lineTo(x + outlineX[i], y + outlineY[i]);
+            }
+            gc.closePath();
+            gc.stroke();
+        } else {
+            gc.strokeRect(x, y, width, height);
+        }
+    }
+
+    /**
+     * Allocates a direct, native-order pixel buffer as required by {@link PixelBuffer}.
+     */
+    private static IntBuffer allocatePixels(int width, int height) {
+        return ByteBuffer.allocateDirect(width * height * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    /**
+     * Checks whether a point lies inside a polygon using the even-odd rule.
+     */
+    private static boolean insideOutline(double[] xs, double[] ys, double px, double py) {
+        boolean inside = false;
+        for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+            if ((ys[i] > py) != (ys[j] > py)
+                    && px < (xs[j] - xs[i]) * (py - ys[i]) / (ys[j] - ys[i]) + xs[i]) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+}
@@ -0,0 +1,39 @@
+package kurata.interactivewhiteboard;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.GraphicsContext;
+
+/**
+ * An undoable move or paste of a selected region. Only the source and destination
+ * rectangles are recorded; the pixels stay in the shared {@link PixelRegion}.
+ */
+public class RegionEdit {
+    private final PixelRegion region;
+    private final Rectangle2D source;       // Null when the region was pasted
+    private final Rectangle2D destination;
+
+    /**
+     * Constructor records where a region was lifted from and where it was dropped.
+     *
+     * @param region      The pixels being moved or pasted
+     * @param source      The area the region was lifted from, or null for a paste
+     * @param destination The area the region was dropped on
+     */
+    public RegionEdit(PixelRegion region, Rectangle2D source, Rectangle2D destination) {
+        this.region = region;
+        this.source = source;
+        this.destination = destination;
+    }
+
+    /**
+     * Replays the edit onto the canvas.
+     *
+     * @param gc The graphics context of the canvas
+     */
+    public void apply(GraphicsContext gc) {
+        if (source != null) {
+            region.clearFrom(gc, source.getMinX(), source.getMinY());
+        }
+        gc.drawImage(region.getImage(), destination.getMinX(), destination.getMinY());
+    }
+}
@@ -0,0 +1,312 @@
+package kurata.interactivewhiteboard;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.ClipboardContent;
+import javafx.scene.input.DataFormat;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Handles the rectangle and lasso selection tools, drawing all previews on an overlay canvas.
+ * A selection passes through these states:
+ * - Marquee: the mouse is dragging out a rectangle or lasso; only the overlay is drawn on.
+ * - Selected: on release the area is extracted once into a {@link PixelRegion} and outlined,
+ *   but the canvas is left untouched.
+ * - Lifted: the first drag of a selection, or a paste, erases the source from the canvas and
+ *   the region floats on the overlay. The canvas stays mid-move until {@link #commit()} draws
+ *   the region back and records the move, so callers drawing onto the canvas commit first.
+ *
+ * Copying places the region's image on the system clipboard together with a random token.
+ * If the clipboard still holds that token when pasting, nothing else has been copied since,
+ * and the already extracted region is reused instead of reading the clipboard image again.
+ */
+public class SelectionManager {
+    // Marks clipboard contents copied from this whiteboard so pasting can reuse the region
+    private static final DataFormat REGION_FORMAT = new DataFormat("application/x-whiteboard-region");
+    private static final double PASTE_OFFSET = 20;
+    private static final double LASSO_SPACING = 2;  // Minimum distance between recorded lasso points
+
+    private final Canvas canvas;
+    private final GraphicsContext gc;
+    private final Canvas overlay;
+    private final GraphicsContext overlayGc;
+    private final Consumer<RegionEdit> history;
+
+    private PixelRegion selection;  // The currently selected region
+    private Rectangle2D source;     // Where the selection was lifted from, null if pasted
+    private double selectionX;
+    private double selectionY;
+    private boolean lifted;         // Selection has been erased from its source and floats on the overlay
+    private boolean dragging;
+    private double dragOffsetX;
+    private double dragOffsetY;
+    private double startX;
+    private double startY;
+    private final List<Double> lassoPoints;
+
+    private PixelRegion copiedRegion;
+    private String copiedToken;
+    private double copiedX;
+    private double copiedY;
+
+    /**
+     * Constructor adds a transparent overlay above the canvas for selection previews.
+     *
+     * @param canvas          The drawing canvas
+     * @param canvasContainer The container holding the canvas
+     * @param history         Receives each committed move or paste for undo/redo
+     */
+    public SelectionManager(Canvas canvas, StackPane canvasContainer, Consumer<RegionEdit> history) {
+        this.canvas = canvas;
+        this.gc = canvas.getGraphicsContext2D();
+        this.history = history;
+        this.lassoPoints = new ArrayList<>();
+
+        overlay = new Canvas(canvas.getWidth(), canvas.getHeight());
+        overlay.setMouseTransparent(true);
+        overlayGc = overlay.getGraphicsContext2D();
+        overlayGc.setStroke(Color.DODGERBLUE);
+        overlayGc.setLineWidth(1);
+        overlayGc.setLineDashes(6);
+        canvasContainer.getChildren().add(overlay);
+    }
+
+    /**
+     * Handles mouse press: grabs the current selection, or starts a new one.
+     *
+     * @param event The mouse event
+     * @param lasso Whether the lasso tool is active
+     */
+    public void startSelection(MouseEvent event, boolean lasso) {
+        if (selection != null && selectionContains(event.getX(), event.getY())) {
+            dragging = true;
+            dragOffsetX = event.getX() - selectionX;
+            dragOffsetY = event.getY() - selectionY;
+            return;
+        }
+
+        commit();
+        startX = event.getX();
+        startY = event.getY();
+        lassoPoints.clear();
+        if (lasso) {
+            lassoPoints.add(startX);
+            lassoPoints.add(startY);
+        }
+    }
+
+    /**
+     * Handles mouse drag: moves the selection or extends the marquee being drawn.
+     * Moving only redraws the overlay from the already extracted region.
+     *
+     * @param event The mouse event
+     * @param lasso Whether the lasso tool is active
+     */
+    public void dragSelection(MouseEvent event, boolean lasso) {
+        if (dragging) {
+            double newX = Math.round(event.getX() - dragOffsetX);
+            double newY = Math.round(event.getY() - dragOffsetY);
+            if (newX == selectionX && newY == selectionY) {
+                return;
+            }
+            if (!lifted) {
+                selection.clearFrom(gc, source.getMinX(), source.getMinY());
+                lifted = true;
+            }
+            selectionX = newX;
+            selectionY = newY;
+            renderSelection();
+            return;
+        }
+
+        if (lasso) {
+            // Skip points too close to the last one to keep the outline short
+            int last = lassoPoints.size() - 2;
+            if (Math.hypot(event.getX() - lassoPoints.get(last), event.getY() - lassoPoints.get(last + 1))
+                    < LASSO_SPACING) {
+                return;
+            }
+        }
+
+        overlayGc.clearRect(0, 0, overlay.getWidth(), overlay.getHeight());
+        if (lasso) {
+            lassoPoints.add(event.getX());
+            lassoPoints.add(event.getY());
+            overlayGc.beginPath();
+            overlayGc.moveTo(lassoPoints.get(0), lassoPoints.get(1));
+            for (int i = 2; i < lassoPoints.size(); i += 2) {
+                overlayGc.lineTo(lassoPoints.get(i), lassoPoints.get(i + 1));
+            }
+            overlayGc.stroke();
+        } else {
+            overlayGc.strokeRect(Math.min(startX, event.getX()), Math.min(startY, event.getY()),
+                    Math.abs(event.getX() - startX), Math.abs(event.getY() - startY));
+        }
+    }
+
+    /**
+     * Handles mouse release: finishes a move, or extracts the newly selected area.
+     *
+     * @param event The mouse event
+     * @param lasso Whether the lasso tool is active
+     */
+    public void endSelection(MouseEvent event, boolean lasso) {
+        if (dragging) {
+            dragging = false;
+            return;
+        }
+
+        double minX;
+        double minY;
+        double maxX;
+        double maxY;
+        if (lasso) {
+            if (lassoPoints.size() < 6) {
+                clearOverlay();
+                return;
+            }
+            minX = maxX = lassoPoints.get(0);
+            minY = maxY = lassoPoints.get(1);
+            for (int i = 2; i < lassoPoints.size(); i += 2) {
+                minX = Math.min(minX, lassoPoints.get(i));
+                maxX = Math.max(maxX, lassoPoints.get(i));
+                minY = Math.min(minY, lassoPoints.get(i + 1));
+                maxY = Math.max(maxY, lassoPoints.get(i + 1));
+            }
+        } else {
+            minX = Math.min(startX, event.getX());
+            minY = Math.min(startY, event.getY());
+            maxX = Math.max(startX, event.getX());
+            maxY = Math.max(startY, event.getY());
+        }
+
+        // Snap to whole pixels and keep the selection inside the canvas
+        int x = (int) Math.max(0, Math.floor(minX));
+        int y = (int) Math.max(0, Math.floor(minY));
+        int w = (int) Math.min(canvas.getWidth(), Math.ceil(maxX)) - x;
+        int h = (int) Math.min(canvas.getHeight(), Math.ceil(maxY)) - y;
+        if (w < 1 || h < 1) {
+            clearOverlay();
+            return;
+        }
+
+        double[] outlineX = null;
+        double[] outlineY = null;
+        if (lasso) {
+            int points = lassoPoints.size() / 2;
+            outlineX = new double[points];
+            outlineY = new double[points];
+            for (int i = 0; i < points; i++) {
+                outlineX[i] = lassoPoints.get(2 * i) - x;
+                outlineY[i] = lassoPoints.get(2 * i + 1) - y;
+            }
+        }
+
+        source = new Rectangle2D(x, y, w, h);
+        selection = PixelRegion.fromCanvas(canvas, source, outlineX, outlineY);
+        selectionX = x;
+        selectionY = y;
+        lifted = false;
+        renderSelection();
+    }
+
+    /**
+     * Drops a moved or pasted selection onto the canvas and records it in the history.
+     * Nothing is recorded if the selection was never moved or was dropped back where it started.
+     */
+    public void commit() {
+        if (selection != null && lifted) {
+            gc.drawImage(selection.getImage(), selectionX, selectionY);
+            Rectangle2D destination = new Rectangle2D(selectionX, selectionY,
+                    selection.getWidth(), selection.getHeight());
+            if (!destination.equals(source)) {
+                history.accept(new RegionEdit(selection, source, destination));
+            }
+        }
+        selection = null;
+        source = null;
+        lifted = false;
+        dragging = false;
+        clearOverlay();
+    }
+
+    /**
+     * Copies the current selection to the system clipboard.
+     */
+    public void copy() {
+        if (selection == null) {
+            return;
+        }
+
+        copiedRegion = selection;
+        copiedToken = UUID.randomUUID().toString();
+        copiedX = selectionX;
+        copiedY = selectionY;
+
+        ClipboardContent content = new ClipboardContent();
+        content.putImage(selection.getImage());
+        content.put(REGION_FORMAT, copiedToken);
+        Clipboard.getSystemClipboard().setContent(content);
+    }
+
+    /**
+     * Pastes the clipboard contents as a new floating selection. A region copied from this
+     * whiteboard is reused as is; any other image is extracted once from the clipboard.
+     */
+    public void paste() {
+        commit();
+
+        Clipboard clipboard = Clipboard.getSystemClipboard();
+        if (copiedRegion != null && copiedToken.equals(clipboard.getContent(REGION_FORMAT))) {
+            selection = copiedRegion;
+            copiedX = Math.min(copiedX + PASTE_OFFSET, canvas.getWidth() - PASTE_OFFSET);
+            copiedY = Math.min(copiedY + PASTE_OFFSET, canvas.getHeight() - PASTE_OFFSET);
+            selectionX = copiedX;
+            selectionY = copiedY;
+        } else if (clipboard.hasImage()) {
+            selection = PixelRegion.fromImage(clipboard.getImage());
+            selectionX = 0;
+            selectionY = 0;
+        }
+
+        if (selection != null) {
+            source = null;
+            lifted = true;
+            renderSelection();
+        }
+    }
+
+    /**
+     * Checks whether a point lies within the shape of the current selection.
+     */
+    private boolean selectionContains(double x, double y) {
+        return selection.contains(x - selectionX, y - selectionY);
+    }
+
+    /**
+     * Redraws the overlay with the floating selection and its outline.
+     */
+    private void renderSelection() {
+        clearOverlay();
+        if (lifted) {
+            overlayGc.drawImage(selection.getImage(), selectionX, selectionY);
+        }
+        selection.strokeOutline(overlayGc, selectionX, selectionY);
+    }
+
+    /**
+     * Removes all selection previews from the overlay.
+     */
+    private void clearOverlay() {
+        overlayGc.clearRect(0, 0, overlay.getWidth(), overlay.getHeight());
+    }
+}
@@ -65,6 +65,10 @@ public class Toolbar {
      * Creates the side toolbar containing:
      * - Pencil Button for drawing
      * - Eraser Button for erasing content
+     * - Select Button for rectangle selection
+     * - Lasso Button for freehand selection
+     * - Copy Button to copy the selection to the clipboard
+     * - Paste Button to paste from the clipboard
      * - Undo Button to revert last action
      * - Redo Button to redo undone actions
      * - Clear Button to clear the entire canvas
@@ -75,6 +79,10 @@ public class Toolbar {
         // UI Components
         Button pencilButton = new Button("Pencil");
         Button eraserButton = new Button("Eraser");
+        Button selectButton = new Button("Select");
+        Button lassoButton = new Button("Lasso");
+        Button copyButton = new Button("Copy");
+        Button pasteButton = new Button("Paste");
         Button undoButton = new Button("Undo");
         Button redoButton = new Button("Redo");
         Button clearButton = new Button("Clear");
@@ -82,6 +90,10 @@ public class Toolbar {
         // Set cursor style for buttons
         pencilButton.setCursor(Cursor.HAND);
         eraserButton.setCursor(Cursor.HAND);
+        selectButton.setCursor(Cursor.HAND);
+        lassoButton.setCursor(Cursor.HAND);
+        copyButton.setCursor(Cursor.HAND);
+        pasteButton.setCursor(Cursor.HAND);
         undoButton.setCursor(Cursor.HAND);
         redoButton.setCursor(Cursor.HAND);
         clearButton.setCursor(Cursor.HAND);
@@ -89,12 +101,17 @@ public class Toolbar {
         // Event handlers for each tool
         pencilButton.setOnAction(e -> canvasManager.selectTool("Pencil"));
         eraserButton.setOnAction(e -> canvasManager.selectTool("Eraser"));
+        selectButton.setOnAction(e -> canvasManager.selectTool("Select"));
+        lassoButton.setOnAction(e -> canvasManager.selectTool("Lasso"));
+        copyButton.setOnAction(e -> canvasManager.copySelection());
+        pasteButton.setOnAction(e -> canvasManager.pasteSelection());
         undoButton.setOnAction(e -> canvasManager.undo());
         redoButton.setOnAction(e -> canvasManager.redo());
         clearButton.setOnAction(e -> canvasManager.clearCanvas());
 
         // Add buttons to the side toolbar
-        sideToolbar.getChildren().addAll(pencilButton, eraserButton, undoButton, redoButton, clearButton);
+        sideToolbar.getChildren().addAll(pencilButton, eraserButton, selectButton, lassoButton,
+                copyButton, pasteButton, undoButton, redoButton, clearButton);
         return sideToolbar;
     }
 
@@ -116,7 +133,10 @@ public class Toolbar {
         addSongButton.setCursor(Cursor.HAND);
 
         // Event handlers for media actions
-        addImageButton.setOnAction(e -> mediaManager.addImage(stage));
+        addImageButton.setOnAction(e -> {
+            canvasManager.commitSelection();  // Images are drawn onto the canvas itself
+            mediaManager.addImage(stage);
+        });
         addVideoButton.setOnAction(e -> mediaManager.addVideo(stage));
         addSongButton.setOnAction(e -> mediaManager.addSong(stage));
 